@@ -0,0 +1,113 @@
+import java.util.*;
+import java.util.List;
+
+// Boardのビットボード実装とStone[][]実装の合法手生成・着手の速度を比較するクラス
+// 実行方法: javac -encoding UTF-8 Othello.java BoardBenchmark.java && java BoardBenchmark
+public class BoardBenchmark {
+
+    private static final int GAMES = 20; // 局面を集めるために打つランダムな対局の数
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURE_ROUNDS = 50;
+    private static final long SEED = 0;
+
+    private static long sink; // 計算結果が最適化で消されないようにする
+
+    public static void main(String[] args) {
+        System.out.println("size  Stone[][] (us/pos)  BitBoard (us/pos)  speedup");
+        for (int size = 8; size <= BitBoard.MAX_SIZE; size += 2) {
+            List<Board> arrayBoards = new ArrayList<>();
+            List<Board> bitBoards = new ArrayList<>();
+            List<Stone> colors = new ArrayList<>();
+            collectPositions(size, arrayBoards, bitBoards, colors);
+
+            double arrayTime = measure(arrayBoards, colors);
+            double bitTime = measure(bitBoards, colors);
+            System.out.printf("%4d  %18.2f  %17.2f  %6.2fx%n", size, arrayTime, bitTime, arrayTime / bitTime);
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    // ランダムな対局の各局面を両方の実装で集める（その際に両者の結果が一致するかを確認する）
+    private static void collectPositions(int size, List<Board> arrayBoards, List<Board> bitBoards, List<Stone> colors) {
+        Random random = new Random(SEED + size);
+        for (int game = 0; game < GAMES; game++) {
+            Board arrayBoard = new Board(size, false);
+            Board bitBoard = new Board(size, true);
+            arrayBoard.initialize();
+            bitBoard.initialize();
+            Stone color = Stone.BLACK;
+
+            while (!arrayBoard.isGameOver()) {
+                List<Position> moves = arrayBoard.getValidMoves(color);
+                verifySameMoves(moves, bitBoard.getValidMoves(color), size);
+                if (!moves.isEmpty()) {
+                    arrayBoards.add(arrayBoard.copy());
+                    bitBoards.add(bitBoard.copy());
+                    colors.add(color);
+                    Position move = moves.get(random.nextInt(moves.size()));
+                    arrayBoard.flipStones(move.x, move.y, color);
+                    bitBoard.flipStones(move.x, move.y, color);
+                    verifySameStones(arrayBoard, bitBoard, size);
+                }
+                color = arrayBoard.getOpponentColor(color);
+            }
+            if (!bitBoard.isGameOver()) {
+                throw new IllegalStateException("Game over mismatch on " + size + "x" + size);
+            }
+        }
+    }
+
+    // 各局面で合法手を生成し，すべての手を盤面のコピーに打つ（探索の1ノード分に相当する）
+    private static double measure(List<Board> boards, List<Stone> colors) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runRound(boards, colors);
+        }
+        long startTime = System.nanoTime();
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            runRound(boards, colors);
+        }
+        long elapsed = System.nanoTime() - startTime;
+        return elapsed / 1000.0 / MEASURE_ROUNDS / boards.size();
+    }
+
+    private static void runRound(List<Board> boards, List<Stone> colors) {
+        for (int i = 0; i < boards.size(); i++) {
+            Board board = boards.get(i);
+            Stone color = colors.get(i);
+            for (Position move : board.getValidMoves(color)) {
+                Board boardCopy = board.copy();
+                boardCopy.flipStones(move.x, move.y, color);
+                sink += boardCopy.countStones(color);
+            }
+        }
+    }
+
+    private static void verifySameMoves(List<Position> expected, List<Position> actual, int size) {
+        boolean same = expected.size() == actual.size();
+        for (int i = 0; same && i < expected.size(); i++) {
+            same = expected.get(i).x == actual.get(i).x && expected.get(i).y == actual.get(i).y;
+        }
+        if (!same) {
+            throw new IllegalStateException("Valid moves mismatch on " + size + "x" + size);
+        }
+    }
+
+    private static void verifySameStones(Board expected, Board actual, int size) {
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (expected.getStone(i, j) != actual.getStone(i, j)) {
+                    throw new IllegalStateException("Stone mismatch at (" + i + ", " + j + ") on " + size + "x" + size);
+                }
+            }
+        }
+        for (Stone color : Stone.values()) {
+            if (expected.countStones(color) != actual.countStones(color)
+                    || expected.countCorners(color) != actual.countCorners(color)
+                    || expected.countEdges(color) != actual.countEdges(color)) {
+                throw new IllegalStateException("Count mismatch on " + size + "x" + size);
+            }
+        }
+    }
+}
@@ -28,16 +28,32 @@ class Board implements Cloneable {
     private static final int[] DY = {-1, -1, -1, 0, 0, 1, 1, 1};
     
     private final int BOARD_SIZE;
-    private final Stone[][] boardState;
+    private final Stone[][] boardState; // ビットボードを使わない場合の盤面
+    private final BitBoard bitBoard; // 16×16以下の場合の盤面
 
     public Board(int size) {
+        this(size, size <= BitBoard.MAX_SIZE);
+    }
+
+    // useBitBoardがfalseの場合は盤面のサイズによらずStone[][]で盤面を表す（ベンチマーク用）
+    Board(int size, boolean useBitBoard) {
+        this.BOARD_SIZE = size;
+        this.bitBoard = useBitBoard ? new BitBoard(size) : null;
+        this.boardState = useBitBoard ? null : new Stone[BOARD_SIZE][BOARD_SIZE];
+    }
+
+    private Board(int size, BitBoard bitBoard) {
         this.BOARD_SIZE = size;
-        this.boardState = new Stone[BOARD_SIZE][BOARD_SIZE];
+        this.bitBoard = bitBoard;
+        this.boardState = null;
     }
 
     // 盤面のコピーを返す
     public Board copy() {
-        Board copyBoard = new Board(BOARD_SIZE);
+        if (bitBoard != null) {
+            return new Board(BOARD_SIZE, bitBoard.copy());
+        }
+        Board copyBoard = new Board(BOARD_SIZE, false);
         for (int i = 0; i < BOARD_SIZE; i++) {
             System.arraycopy(boardState[i], 0, copyBoard.boardState[i], 0, BOARD_SIZE);
         }
@@ -46,7 +62,11 @@ class Board implements Cloneable {
 
     // 盤面を初期化する
     public void initialize() {
-        
+        if (bitBoard != null) {
+            bitBoard.initialize();
+            return;
+        }
+
         // 盤面を空にする
         for (int i = 0; i < BOARD_SIZE; i++) {
             for (int j = 0; j < BOARD_SIZE; j++) {
@@ -63,6 +83,10 @@ class Board implements Cloneable {
 
     // (x, y)に石を置いて，ひっくり返す
     public void flipStones(int x, int y, Stone player) {
+        if (bitBoard != null) {
+            bitBoard.flipStones(x, y, player);
+            return;
+        }
         boardState[x][y] = player;
         for (int dir = 0; dir < DX.length; dir++) {
             if (isOpponentStoneInDirection(x, y, player, dir)) {
@@ -77,6 +101,9 @@ class Board implements Cloneable {
 
     // 合法手のリストを返す
     public List<Position> getValidMoves(Stone player) {
+        if (bitBoard != null) {
+            return bitBoard.getValidMoves(player);
+        }
         List<Position> validMoves = new ArrayList<>();
         for (int i = 0; i < BOARD_SIZE; i++) {
             for (int j = 0; j < BOARD_SIZE; j++) {
@@ -90,6 +117,9 @@ class Board implements Cloneable {
 
     // (x, y)に石を置けるかどうかを返す
     public boolean isValidMove(int x, int y, Stone player) {
+        if (bitBoard != null) {
+            return bitBoard.isValidMove(x, y, player);
+        }
         for (int dir = 0; dir < DX.length; dir++) {
             if (isOpponentStoneInDirection(x, y, player, dir) && isOwnStoneInLine(x, y, player, dir)) {
                 return true;
@@ -129,6 +159,9 @@ class Board implements Cloneable {
 
     // (x, y)の石の色または状態を返す
     public Stone getStone(int x, int y) {
+        if (bitBoard != null) {
+            return bitBoard.getStone(x, y);
+        }
         return boardState[x][y];
     }
 
@@ -139,6 +172,9 @@ class Board implements Cloneable {
 
     // 空マスの数を返す
     public int countEmpty() {
+        if (bitBoard != null) {
+            return bitBoard.countEmpty();
+        }
         int emptyCount = 0;
         for (Stone[] row : boardState) {
             for (Stone stone : row) {
@@ -152,6 +188,9 @@ class Board implements Cloneable {
 
     // 石の数を返す
     public int countStones(Stone color) {
+        if (bitBoard != null) {
+            return bitBoard.countStones(color);
+        }
         int stoneCount = 0;
         for (Stone[] row : boardState) {
             for (Stone stone : row) {
@@ -165,6 +204,9 @@ class Board implements Cloneable {
 
     // 取った角の数を返す
     public int countCorners(Stone color) {
+        if (bitBoard != null) {
+            return bitBoard.countCorners(color);
+        }
         int cornerCount = 0;
         if (boardState[0][0] == color) {
             cornerCount++;
@@ -183,6 +225,9 @@ class Board implements Cloneable {
 
     // 辺の上にある石の数を返す
     public int countEdges(Stone color) {
+        if (bitBoard != null) {
+            return bitBoard.countEdges(color);
+        }
         int edgeCount = 0;
         for (int i = 1; i < BOARD_SIZE - 1; i++) {
             if (boardState[0][i] == color) {
@@ -203,6 +248,267 @@ class Board implements Cloneable {
 }
 
 
+// 16×16以下の盤面をビットボードで表すクラス
+// 1行を16ビットのレーンに割り当て，4行ずつ1つのlongに詰める（(x, y)はx * 16 + yビット目）
+class BitBoard {
+
+    static final int MAX_SIZE = 16;
+    private static final int ROW_BITS = 16;
+    private static final int ROWS_PER_WORD = Long.SIZE / ROW_BITS;
+
+    // 8方向のシフト量（BoardのDX, DYと同じ順で，x方向の移動は16ビット，y方向の移動は1ビットに対応する）
+    private static final int[] DY = {-1, -1, -1, 0, 0, 1, 1, 1};
+    private static final int[] SHIFTS = {-17, -1, 15, -16, 16, -15, 1, 17};
+
+    private final int size;
+    private final int words; // 使用するlongの数
+    private final long[] boardMask; // 盤面内のマス
+    private final long[][] shiftMasks; // 各方向にシフトした後に残すマス（行をまたいで回り込んだビットを除く）
+    private final long[] cornerMask;
+    private final long[] edgeMask; // 角を除く辺上のマス
+    private final long[] black;
+    private final long[] white;
+
+    public BitBoard(int size) {
+        this.size = size;
+        this.words = (size + ROWS_PER_WORD - 1) / ROWS_PER_WORD;
+        this.boardMask = new long[words];
+        this.cornerMask = new long[words];
+        this.edgeMask = new long[words];
+        this.black = new long[words];
+        this.white = new long[words];
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                setBit(boardMask, i, j);
+                boolean onRowEdge = i == 0 || i == size - 1;
+                boolean onColumnEdge = j == 0 || j == size - 1;
+                if (onRowEdge && onColumnEdge) {
+                    setBit(cornerMask, i, j);
+                } else if (onRowEdge || onColumnEdge) {
+                    setBit(edgeMask, i, j);
+                }
+            }
+        }
+
+        // 右にシフトすると左端の列に，左にシフトすると16列目に前後の行から回り込んだビットが入る
+        this.shiftMasks = new long[SHIFTS.length][words];
+        for (int dir = 0; dir < SHIFTS.length; dir++) {
+            for (int i = 0; i < words; i++) {
+                long wrapColumn = 0;
+                for (int row = 0; row < ROWS_PER_WORD; row++) {
+                    if (DY[dir] == 1) {
+                        wrapColumn |= 1L << (row * ROW_BITS);
+                    } else if (DY[dir] == -1) {
+                        wrapColumn |= 1L << (row * ROW_BITS + ROW_BITS - 1);
+                    }
+                }
+                shiftMasks[dir][i] = boardMask[i] & ~wrapColumn;
+            }
+        }
+    }
+
+    // マスクは盤面のサイズのみで決まるので，コピー元と共有する
+    private BitBoard(BitBoard other) {
+        this.size = other.size;
+        this.words = other.words;
+        this.boardMask = other.boardMask;
+        this.shiftMasks = other.shiftMasks;
+        this.cornerMask = other.cornerMask;
+        this.edgeMask = other.edgeMask;
+        this.black = other.black.clone();
+        this.white = other.white.clone();
+    }
+
+    // 盤面のコピーを返す
+    public BitBoard copy() {
+        return new BitBoard(this);
+    }
+
+    // 盤面を初期化する
+    public void initialize() {
+        Arrays.fill(black, 0);
+        Arrays.fill(white, 0);
+        setBit(white, size/2 - 1, size/2 - 1);
+        setBit(white, size/2, size/2);
+        setBit(black, size/2 - 1, size/2);
+        setBit(black, size/2, size/2 - 1);
+    }
+
+    // (x, y)に石を置いて，ひっくり返す
+    public void flipStones(int x, int y, Stone player) {
+        long[] own = stonesOf(player);
+        long[] opponent = stonesOf(getOpponentColor(player));
+        long[] flips = computeFlips(x, y, own, opponent);
+        setBit(own, x, y);
+        for (int i = 0; i < words; i++) {
+            own[i] |= flips[i];
+            opponent[i] &= ~flips[i];
+        }
+    }
+
+    // 合法手のリストを返す（Boardと同じく行優先の順）
+    public List<Position> getValidMoves(Stone player) {
+        long[] own = stonesOf(player);
+        long[] opponent = stonesOf(getOpponentColor(player));
+        long[] moves = new long[words];
+        long[] line = new long[words];
+        long[] next = new long[words];
+
+        for (int dir = 0; dir < SHIFTS.length; dir++) {
+            // 自分の石から連なる相手の石の先にある空マスが合法手
+            fillLine(own, opponent, dir, line, next);
+            shift(line, dir, next);
+            for (int i = 0; i < words; i++) {
+                moves[i] |= next[i] & ~(black[i] | white[i]);
+            }
+        }
+
+        List<Position> validMoves = new ArrayList<>();
+        for (int i = 0; i < words; i++) {
+            for (long bits = moves[i]; bits != 0; bits &= bits - 1) {
+                int index = i * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                validMoves.add(new Position(index / ROW_BITS, index % ROW_BITS));
+            }
+        }
+        return validMoves;
+    }
+
+    // (x, y)に石を置けるかどうかを返す
+    public boolean isValidMove(int x, int y, Stone player) {
+        if (getStone(x, y) != Stone.EMPTY) {
+            return false;
+        }
+        long[] flips = computeFlips(x, y, stonesOf(player), stonesOf(getOpponentColor(player)));
+        for (long word : flips) {
+            if (word != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // (x, y)に置いたときにひっくり返る石を返す
+    private long[] computeFlips(int x, int y, long[] own, long[] opponent) {
+        long[] move = new long[words];
+        long[] flips = new long[words];
+        long[] line = new long[words];
+        long[] next = new long[words];
+        setBit(move, x, y);
+
+        for (int dir = 0; dir < SHIFTS.length; dir++) {
+            // 連なる相手の石の先に自分の石があれば，その方向の石をひっくり返せる
+            fillLine(move, opponent, dir, line, next);
+            shift(line, dir, next);
+            boolean closed = false;
+            for (int i = 0; i < words; i++) {
+                closed |= (next[i] & own[i]) != 0;
+            }
+            if (closed) {
+                for (int i = 0; i < words; i++) {
+                    flips[i] |= line[i];
+                }
+            }
+        }
+        return flips;
+    }
+
+    // fromのdir方向に連なる相手の石をlineに求める（nextは作業用）
+    private void fillLine(long[] from, long[] opponent, int dir, long[] line, long[] next) {
+        shift(from, dir, line);
+        for (int i = 0; i < words; i++) {
+            line[i] &= opponent[i];
+        }
+        // 連なる相手の石は最大でsize - 2個
+        for (int step = 0; step < size - 3; step++) {
+            shift(line, dir, next);
+            long grown = 0;
+            for (int i = 0; i < words; i++) {
+                long filled = line[i] | (next[i] & opponent[i]);
+                grown |= filled ^ line[i];
+                line[i] = filled;
+            }
+            if (grown == 0) {
+                break;
+            }
+        }
+    }
+
+    // srcをdir方向に1マスずらしてdstに格納する（src == dstでもよい）
+    private void shift(long[] src, int dir, long[] dst) {
+        int s = SHIFTS[dir];
+        long[] mask = shiftMasks[dir];
+        if (s > 0) {
+            for (int i = words - 1; i > 0; i--) {
+                dst[i] = ((src[i] << s) | (src[i - 1] >>> (Long.SIZE - s))) & mask[i];
+            }
+            dst[0] = (src[0] << s) & mask[0];
+        } else {
+            for (int i = 0; i < words - 1; i++) {
+                dst[i] = ((src[i] >>> -s) | (src[i + 1] << (Long.SIZE + s))) & mask[i];
+            }
+            dst[words - 1] = (src[words - 1] >>> -s) & mask[words - 1];
+        }
+    }
+
+    // (x, y)の石の色または状態を返す
+    public Stone getStone(int x, int y) {
+        int index = x * ROW_BITS + y;
+        long bit = 1L << index;
+        if ((black[index / Long.SIZE] & bit) != 0) {
+            return Stone.BLACK;
+        }
+        if ((white[index / Long.SIZE] & bit) != 0) {
+            return Stone.WHITE;
+        }
+        return Stone.EMPTY;
+    }
+
+    // 空マスの数を返す
+    public int countEmpty() {
+        return countInMask(Stone.EMPTY, boardMask);
+    }
+
+    // 石の数を返す
+    public int countStones(Stone color) {
+        return countInMask(color, boardMask);
+    }
+
+    // 取った角の数を返す
+    public int countCorners(Stone color) {
+        return countInMask(color, cornerMask);
+    }
+
+    // 辺の上にある石の数を返す
+    public int countEdges(Stone color) {
+        return countInMask(color, edgeMask);
+    }
+
+    // mask内にあるcolorのマスの数を返す
+    private int countInMask(Stone color, long[] mask) {
+        int count = 0;
+        for (int i = 0; i < words; i++) {
+            long cells = color == Stone.EMPTY ? ~(black[i] | white[i]) : stonesOf(color)[i];
+            count += Long.bitCount(cells & mask[i]);
+        }
+        return count;
+    }
+
+    private long[] stonesOf(Stone color) {
+        return color == Stone.BLACK ? black : white;
+    }
+
+    private Stone getOpponentColor(Stone color) {
+        return color == Stone.BLACK ? Stone.WHITE : Stone.BLACK;
+    }
+
+    private static void setBit(long[] bits, int x, int y) {
+        int index = x * ROW_BITS + y;
+        bits[index / Long.SIZE] |= 1L << index;
+    }
+}
+
+
 // Negascout法による事前探索の結果を格納するクラス
 class PresearchResult {
     public Position bestMove;